@@ -0,0 +1,81 @@
+#!/bin/bash
+
+echo "════════════════════════════════════════════════════════════"
+echo "  ⏱️  Subgraph Startup Measurement"
+echo "════════════════════════════════════════════════════════════"
+echo ""
+
+# Starts each subgraph on its own, once per launch mode, and reports the time
+# from launch to the first served GraphQL query plus the StartupMetrics line
+# (JVM uptime at ApplicationReadyEvent and heap used).
+#
+#   mvn      mvn spring-boot:run (default profile)
+#   aot      repackaged jar, Spring AOT + faststart profile, no CDS archive
+#   aot+cds  same, with the class-data sharing archive
+#
+# The aot modes use .faststart/<service>, so run FAST_START=1 ./start-all.sh
+# once first. Stop the running stack (./stop-all.sh) before measuring.
+
+SCRIPT_DIR="$( cd "$( dirname "${BASH_SOURCE[0]}" )" && pwd )"
+cd "$SCRIPT_DIR"
+
+FAST_JAVA_OPTS="-Dspring.aot.enabled=true -Dspring.profiles.active=faststart"
+SERVICES="products-service:8081 orders-service:8082 customers-service:8083"
+
+now_ms() {
+    perl -MTime::HiRes=time -e 'printf "%d\n", time * 1000'
+}
+
+for entry in $SERVICES; do
+    if [ ! -f ".faststart/${entry%%:*}/app.jsa" ]; then
+        echo "❌ No fast-start launcher for ${entry%%:*}. Run FAST_START=1 ./start-all.sh once first."
+        exit 1
+    fi
+done
+
+mkdir -p logs
+
+# Launch one service, wait for its first served query and print a result row
+measure() {
+    local name=$1
+    local port=$2
+    local mode=$3
+    local log_file="$SCRIPT_DIR/logs/measure-${name}-${mode/+/-}.log"
+    local started=$(now_ms)
+
+    case $mode in
+        mvn)     (cd "services/$name" && exec mvn -q spring-boot:run) > "$log_file" 2>&1 & ;;
+        aot)     (cd ".faststart/$name" && exec java $FAST_JAVA_OPTS -jar app.jar) > "$log_file" 2>&1 & ;;
+        aot+cds) (cd ".faststart/$name" && exec java -XX:SharedArchiveFile=app.jsa $FAST_JAVA_OPTS -jar app.jar) > "$log_file" 2>&1 & ;;
+    esac
+    local pid=$!
+
+    local served="timeout"
+    for attempt in $(seq 1 600); do
+        if curl -s -H 'Content-Type: application/json' -d '{"query":"{ __typename }"}' \
+                "http://localhost:${port}/graphql" 2>/dev/null | grep -q '"data"'; then
+            served="$(( $(now_ms) - started ))ms"
+            break
+        fi
+        sleep 0.1
+    done
+
+    sleep 1
+    local ready=$(grep -o 'Ready in .*' "$log_file" | head -n 1)
+    printf "  %-18s %-8s first query %-9s %s\n" "$name" "$mode" "$served" "$ready"
+
+    kill $pid 2>/dev/null
+    lsof -ti "tcp:${port}" -sTCP:LISTEN | xargs kill 2>/dev/null
+    wait $pid 2>/dev/null
+    sleep 1
+}
+
+for entry in $SERVICES; do
+    for mode in mvn aot aot+cds; do
+        measure "${entry%%:*}" "${entry##*:}" "$mode"
+    done
+done
+
+echo ""
+echo "📝 Service output is in logs/measure-*.log"
+echo ""
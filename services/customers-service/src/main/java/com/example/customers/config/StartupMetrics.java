@@ -0,0 +1,24 @@
+package com.example.customers.config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reports time-to-ready and heap usage once the service can accept traffic,
+ * so cold and fast-start launches can be compared per service.
+ */
+@Component
+public class StartupMetrics implements ApplicationListener<ApplicationReadyEvent> {
+    
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        long contextMs = event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1;
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        System.out.println("👤 Customers Service: Ready in " + uptimeMs + "ms (context " + contextMs + "ms), heap used " + usedMb + "MB");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.orders.config;
+
+import com.example.orders.repository.ReferenceCacheSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import java.time.Duration;
+
+/**
+ * HTTP client settings and cache tuning for the federated reference cache,
+ * kept bounded so a slow owning subgraph cannot stall the orders listing
+ */
+@Configuration
+public class ReferenceCacheConfig {
+    
+    @Bean
+    public ClientHttpRequestFactory referenceRequestFactory(
+            @Value("${orders.reference-cache.connect-timeout}") Duration connectTimeout,
+            @Value("${orders.reference-cache.read-timeout}") Duration readTimeout) {
+        return ClientHttpRequestFactories.get(ClientHttpRequestFactorySettings.DEFAULTS
+            .withConnectTimeout(connectTimeout)
+            .withReadTimeout(readTimeout));
+    }
+    
+    @Bean
+    public ReferenceCacheSettings referenceCacheSettings(
+            @Value("${orders.reference-cache.refresh-after}") Duration refreshAfter,
+            @Value("${orders.reference-cache.max-stale}") Duration maxStale,
+            @Value("${orders.reference-cache.not-found-ttl}") Duration notFoundTtl,
+            @Value("${orders.reference-cache.failure-backoff}") Duration failureBackoff,
+            @Value("${orders.reference-cache.refresh-threads}") int refreshThreads) {
+        return new ReferenceCacheSettings(refreshAfter, maxStale, notFoundTtl, failureBackoff, refreshThreads);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.orders.datafetcher;
+
+import com.example.orders.model.Customer;
+import com.example.orders.repository.CustomerReferenceRepository;
+import com.netflix.graphql.dgs.DgsDataLoader;
+import lombok.RequiredArgsConstructor;
+import org.dataloader.MappedBatchLoader;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Batches and deduplicates Order.customer references within a request
+ */
+@DgsDataLoader(name = "customerReferences")
+@RequiredArgsConstructor
+public class CustomerReferenceLoader implements MappedBatchLoader<String, Customer> {
+    
+    private final CustomerReferenceRepository customerReferenceRepository;
+    
+    @Override
+    public CompletionStage<Map<String, Customer>> load(Set<String> customerIds) {
+        return customerReferenceRepository.findByIds(customerIds);
+    }
+}
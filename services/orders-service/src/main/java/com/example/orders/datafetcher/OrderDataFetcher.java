@@ -6,9 +6,13 @@ import com.example.orders.model.Product;
 import com.example.orders.model.Customer;
 import com.example.orders.repository.OrderRepository;
 import com.netflix.graphql.dgs.*;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.DataFetcherResult;
 import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @DgsComponent
@@ -50,6 +54,52 @@ public class OrderDataFetcher {
         return orderRepository.createOrder(customerId, orderItems);
     }
     
+    /**
+     * Federation: Resolve OrderItem.product locally
+     * Only goes through the reference cache when the @provides fields are selected
+     */
+    @DgsData(parentType = "OrderItem", field = "product")
+    public CompletableFuture<DataFetcherResult<Product>> productForItem(DgsDataFetchingEnvironment dfe) {
+        OrderItem item = dfe.getSource();
+        if (!dfe.getSelectionSet().containsAnyOf("name", "price")) {
+            return CompletableFuture.completedFuture(referenceResult(dfe, new Product(item.getProductId()), "Product", item.getProductId()));
+        }
+        DataLoader<String, Product> loader = dfe.getDataLoader(ProductReferenceLoader.class);
+        return loader.load(item.getProductId())
+            .thenApply(product -> referenceResult(dfe, product, "Product", item.getProductId()));
+    }
+    
+    /**
+     * Federation: Resolve Order.customer locally
+     * Only goes through the reference cache when the @provides fields are selected
+     */
+    @DgsData(parentType = "Order", field = "customer")
+    public CompletableFuture<DataFetcherResult<Customer>> customerForOrder(DgsDataFetchingEnvironment dfe) {
+        Order order = dfe.getSource();
+        if (!dfe.getSelectionSet().contains("name")) {
+            return CompletableFuture.completedFuture(referenceResult(dfe, new Customer(order.getCustomerId()), "Customer", order.getCustomerId()));
+        }
+        DataLoader<String, Customer> loader = dfe.getDataLoader(CustomerReferenceLoader.class);
+        return loader.load(order.getCustomerId())
+            .thenApply(customer -> referenceResult(dfe, customer, "Customer", order.getCustomerId()));
+    }
+    
+    /**
+     * Reports a reference that could not be loaded from its owning subgraph as a GraphQL error
+     * instead of a silent null
+     */
+    private static <T> DataFetcherResult<T> referenceResult(DgsDataFetchingEnvironment dfe, T reference,
+                                                            String typename, String id) {
+        if (reference != null) {
+            return DataFetcherResult.<T>newResult().data(reference).build();
+        }
+        return DataFetcherResult.<T>newResult()
+            .error(GraphqlErrorBuilder.newError(dfe)
+                .message(typename + " " + id + " could not be loaded from its owning subgraph")
+                .build())
+            .build();
+    }
+    
     /**
      * Federation: Entity resolver for Order
      */
@@ -0,0 +1,26 @@
+package com.example.orders.datafetcher;
+
+import com.example.orders.model.Product;
+import com.example.orders.repository.ProductReferenceRepository;
+import com.netflix.graphql.dgs.DgsDataLoader;
+import lombok.RequiredArgsConstructor;
+import org.dataloader.MappedBatchLoader;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Batches and deduplicates OrderItem.product references within a request
+ */
+@DgsDataLoader(name = "productReferences")
+@RequiredArgsConstructor
+public class ProductReferenceLoader implements MappedBatchLoader<String, Product> {
+    
+    private final ProductReferenceRepository productReferenceRepository;
+    
+    @Override
+    public CompletionStage<Map<String, Product>> load(Set<String> productIds) {
+        return productReferenceRepository.findByIds(productIds);
+    }
+}
@@ -13,4 +13,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class Customer {
     private String id;
+    private String name;
+    
+    public Customer(String id) {
+        this.id = id;
+    }
 }
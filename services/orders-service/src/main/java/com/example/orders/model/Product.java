@@ -13,4 +13,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class Product {
     private String id;
+    private String name;
+    private Double price;
+    
+    public Product(String id) {
+        this.id = id;
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Customer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+import java.util.Map;
+
+/**
+ * Cached customer name provided on {@code Order.customer}
+ */
+@Repository
+public class CustomerReferenceRepository extends SubgraphReferenceRepository<Customer> {
+    
+    public CustomerReferenceRepository(RestClient.Builder restClientBuilder,
+                                       ClientHttpRequestFactory referenceRequestFactory,
+                                       ReferenceCacheSettings referenceCacheSettings,
+                                       @Value("${orders.subgraphs.customers.url}") String url) {
+        super(restClientBuilder.baseUrl(url).requestFactory(referenceRequestFactory).build(),
+            referenceCacheSettings, Clock.systemUTC());
+    }
+    
+    @Override
+    protected String typename() {
+        return "Customer";
+    }
+    
+    @Override
+    protected String fields() {
+        return "id name";
+    }
+    
+    @Override
+    protected Customer map(Map<String, Object> entity) {
+        return new Customer((String) entity.get("id"), (String) entity.get("name"));
+    }
+}
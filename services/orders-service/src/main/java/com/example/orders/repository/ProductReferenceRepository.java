@@ -0,0 +1,42 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+import java.util.Map;
+
+/**
+ * Cached product name and price provided on {@code OrderItem.product}
+ */
+@Repository
+public class ProductReferenceRepository extends SubgraphReferenceRepository<Product> {
+    
+    public ProductReferenceRepository(RestClient.Builder restClientBuilder,
+                                      ClientHttpRequestFactory referenceRequestFactory,
+                                      ReferenceCacheSettings referenceCacheSettings,
+                                      @Value("${orders.subgraphs.products.url}") String url) {
+        super(restClientBuilder.baseUrl(url).requestFactory(referenceRequestFactory).build(),
+            referenceCacheSettings, Clock.systemUTC());
+    }
+    
+    @Override
+    protected String typename() {
+        return "Product";
+    }
+    
+    @Override
+    protected String fields() {
+        return "id name price";
+    }
+    
+    @Override
+    protected Product map(Map<String, Object> entity) {
+        Number price = (Number) entity.get("price");
+        return new Product((String) entity.get("id"), (String) entity.get("name"),
+            price != null ? price.doubleValue() : null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.orders.repository;
+
+import java.time.Duration;
+
+/**
+ * Tuning for {@link SubgraphReferenceRepository}, bound from {@code orders.reference-cache.*}
+ *
+ * @param refreshAfter   age after which an entry is still served but refreshed in the background
+ * @param maxStale       age after which an entry is dropped and the next lookup waits for the owner
+ * @param notFoundTtl    how long an id the owning subgraph does not know is not asked for again
+ * @param failureBackoff how long the owning subgraph is not called after a failed call
+ * @param refreshThreads threads used to call the owning subgraph
+ */
+public record ReferenceCacheSettings(Duration refreshAfter,
+                                     Duration maxStale,
+                                     Duration notFoundTtl,
+                                     Duration failureBackoff,
+                                     int refreshThreads) {
+}
@@ -0,0 +1,224 @@
+package com.example.orders.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Local copy of entity fields owned by another subgraph, used to satisfy
+ * {@code @provides} without an extra {@code _entities} hop through the gateway.
+ * <p>
+ * Cached entries are always answered immediately. Entries older than
+ * {@code refreshAfter} are refreshed in the background (refresh-ahead), and only
+ * ids with no usable entry wait for the owning subgraph. Concurrent lookups of the
+ * same id share one in-flight {@code _entities} call. Ids the owner reports as
+ * unknown are remembered per id; a failed call (after one retry) backs off the
+ * whole subgraph instead, so an outage or a slow cold start does not poison ids.
+ */
+public abstract class SubgraphReferenceRepository<T> {
+    
+    private static final String ENTITIES_QUERY =
+        "query($representations: [_Any!]!) { _entities(representations: $representations) { ... on %s { %s } } }";
+    
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> notFoundUntil = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+    private final RestClient restClient;
+    private final ReferenceCacheSettings settings;
+    private final Clock clock;
+    private final ExecutorService refreshExecutor;
+    private volatile long unavailableUntil;
+    private volatile long nextPurgeAt;
+    
+    protected SubgraphReferenceRepository(RestClient restClient, ReferenceCacheSettings settings, Clock clock) {
+        this.restClient = restClient;
+        this.settings = settings;
+        this.clock = clock;
+        String threadName = getClass().getSimpleName() + "-refresh";
+        this.refreshExecutor = new ThreadPoolExecutor(settings.refreshThreads(), settings.refreshThreads(),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100), runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+    
+    /** Federation typename of the entity, e.g. {@code Product}. */
+    protected abstract String typename();
+    
+    /** Fields selected from the owning subgraph, always including {@code id}. */
+    protected abstract String fields();
+    
+    protected abstract T map(Map<String, Object> entity);
+    
+    /**
+     * Returns the cached or freshly loaded entities by id. The future is already
+     * complete when every id has a cached entry, even a stale one. Ids that could
+     * not be loaded are absent from the result.
+     */
+    public CompletableFuture<Map<String, T>> findByIds(Collection<String> ids) {
+        long now = clock.millis();
+        purgeExpired(now);
+        
+        Map<String, T> result = new HashMap<>();
+        Set<String> stale = new HashSet<>();
+        Set<String> missing = new HashSet<>();
+        for (String id : ids) {
+            Entry<T> entry = entries.get(id);
+            if (entry != null && entry.expiresAt > now) {
+                result.put(id, entry.value);
+                if (entry.refreshAt <= now) {
+                    stale.add(id);
+                }
+            } else if (notFoundUntil.getOrDefault(id, 0L) <= now) {
+                missing.add(id);
+            }
+        }
+        
+        if (now < unavailableUntil) {
+            return CompletableFuture.completedFuture(result);
+        }
+        if (!stale.isEmpty()) {
+            load(stale);
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        
+        Map<String, CompletableFuture<T>> pending = load(missing);
+        return CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> {
+                pending.forEach((id, future) -> {
+                    T value = future.join();
+                    if (value != null) {
+                        result.put(id, value);
+                    }
+                });
+                return result;
+            });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+    
+    /**
+     * Joins the in-flight call for each id, starting one call for the ids nobody is loading yet
+     */
+    private Map<String, CompletableFuture<T>> load(Set<String> ids) {
+        Map<String, CompletableFuture<T>> pending = new HashMap<>();
+        Set<String> owned = new LinkedHashSet<>();
+        for (String id : ids) {
+            CompletableFuture<T> created = new CompletableFuture<>();
+            CompletableFuture<T> existing = inFlight.putIfAbsent(id, created);
+            pending.put(id, existing != null ? existing : created);
+            if (existing == null) {
+                owned.add(id);
+            }
+        }
+        
+        if (!owned.isEmpty()) {
+            try {
+                refreshExecutor.execute(() -> refresh(owned));
+            } catch (RejectedExecutionException e) {
+                complete(owned, Map.of());
+            }
+        }
+        return pending;
+    }
+    
+    private void refresh(Set<String> ids) {
+        Map<String, T> fetched = Map.of();
+        try {
+            fetched = fetchWithRetry(ids);
+            long now = clock.millis();
+            for (String id : ids) {
+                T value = fetched.get(id);
+                if (value != null) {
+                    entries.put(id, new Entry<>(value, now + settings.refreshAfter().toMillis(),
+                        now + settings.maxStale().toMillis()));
+                    notFoundUntil.remove(id);
+                } else {
+                    entries.remove(id);
+                    notFoundUntil.put(id, now + settings.notFoundTtl().toMillis());
+                }
+            }
+        } catch (RestClientException e) {
+            unavailableUntil = clock.millis() + settings.failureBackoff().toMillis();
+            System.out.println("🛒 Orders Service: Could not refresh " + typename() + " references ("
+                + describe(e) + "), backing off for " + settings.failureBackoff().toSeconds() + "s");
+        } finally {
+            complete(ids, fetched);
+        }
+    }
+    
+    private void complete(Set<String> ids, Map<String, T> fetched) {
+        for (String id : ids) {
+            CompletableFuture<T> future = inFlight.remove(id);
+            if (future != null) {
+                future.complete(fetched.get(id));
+            }
+        }
+    }
+    
+    private Map<String, T> fetchWithRetry(Set<String> ids) {
+        try {
+            return fetch(ids);
+        } catch (RestClientException e) {
+            System.out.println("🛒 Orders Service: Retrying " + typename() + " references (" + describe(e) + ")");
+            return fetch(ids);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, T> fetch(Set<String> ids) {
+        System.out.println("🛒 Orders Service: Refreshing " + ids.size() + " " + typename() + " reference(s)");
+        List<Map<String, Object>> representations = new ArrayList<>();
+        for (String id : ids) {
+            representations.add(Map.of("__typename", typename(), "id", id));
+        }
+        
+        Map<String, Object> response = restClient.post()
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .body(Map.of(
+                "query", String.format(ENTITIES_QUERY, typename(), fields()),
+                "variables", Map.of("representations", representations)))
+            .retrieve()
+            .body(Map.class);
+        Map<String, Object> data = response != null ? (Map<String, Object>) response.get("data") : null;
+        if (data == null || data.get("_entities") == null) {
+            throw new RestClientException("No _entities in response: " + (response != null ? response.get("errors") : null));
+        }
+        
+        Map<String, T> fetched = new HashMap<>();
+        for (Map<String, Object> entity : (List<Map<String, Object>>) data.get("_entities")) {
+            if (entity != null) {
+                fetched.put((String) entity.get("id"), map(entity));
+            }
+        }
+        return fetched;
+    }
+    
+    private void purgeExpired(long now) {
+        if (now < nextPurgeAt) {
+            return;
+        }
+        nextPurgeAt = now + settings.refreshAfter().toMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        notFoundUntil.values().removeIf(until -> until <= now);
+    }
+    
+    private static String describe(RestClientException e) {
+        Throwable cause = e.getMostSpecificCause();
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+    
+    private record Entry<T>(T value, long refreshAt, long expiresAt) {}
+}
@@ -0,0 +1,182 @@
+package com.example.orders.repository;
+
+import com.example.orders.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.net.SocketTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class SubgraphReferenceRepositoryTest {
+    
+    private static final String URL = "http://products/graphql";
+    
+    private final MutableClock clock = new MutableClock();
+    private MockRestServiceServer server;
+    private TestProductRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+        repository = new TestProductRepository(builder.build(), new ReferenceCacheSettings(
+            Duration.ofSeconds(5), Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ofSeconds(10), 1), clock);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        repository.shutdown();
+    }
+    
+    @Test
+    void cachesLoadedEntitiesAndRemembersUnknownIds() {
+        expectEntities("""
+            [{"id": "1", "name": "Laptop Pro", "price": 1299.99}, null]""");
+        
+        assertThat(find("1", "99")).containsOnlyKeys("1");
+        assertThat(find("1", "99").get("1").getName()).isEqualTo("Laptop Pro");
+        server.verify();
+    }
+    
+    @Test
+    void retriesOnceAfterTransportFailure() {
+        server.expect(once(), requestTo(URL)).andRespond(withException(new SocketTimeoutException("Read timed out")));
+        expectEntities("""
+            [{"id": "1", "name": "Laptop Pro", "price": 1299.99}]""");
+        
+        assertThat(find("1")).containsOnlyKeys("1");
+        server.verify();
+    }
+    
+    @Test
+    void backsOffSubgraphWithoutPoisoningIdsAfterFailedCall() {
+        server.expect(once(), requestTo(URL)).andRespond(withException(new SocketTimeoutException("Read timed out")));
+        server.expect(once(), requestTo(URL)).andRespond(withException(new SocketTimeoutException("Read timed out")));
+        
+        assertThat(find("1")).isEmpty();
+        assertThat(find("1")).isEmpty();
+        server.verify();
+        
+        server.reset();
+        clock.advance(Duration.ofSeconds(11));
+        expectEntities("""
+            [{"id": "1", "name": "Laptop Pro", "price": 1299.99}]""");
+        
+        assertThat(find("1")).containsOnlyKeys("1");
+        server.verify();
+    }
+    
+    @Test
+    void servesStaleEntryImmediatelyAndRefreshesOnceInBackground() {
+        expectEntities("""
+            [{"id": "1", "name": "Laptop Pro", "price": 1299.99}]""");
+        find("1");
+        server.verify();
+        
+        server.reset();
+        clock.advance(Duration.ofSeconds(6));
+        expectEntities("""
+            [{"id": "1", "name": "Laptop Pro 2", "price": 1199.99}]""");
+        
+        CompletableFuture<Map<String, Product>> first = repository.findByIds(List.of("1"));
+        CompletableFuture<Map<String, Product>> second = repository.findByIds(List.of("1"));
+        assertThat(first).isCompleted();
+        assertThat(first.join().get("1").getName()).isEqualTo("Laptop Pro");
+        assertThat(second).isCompleted();
+        server.verify(Duration.ofSeconds(2));
+        
+        assertThat(find("1").get("1").getName()).isEqualTo("Laptop Pro 2");
+    }
+    
+    @Test
+    void dropsEntriesOlderThanMaxStale() {
+        expectEntities("""
+            [{"id": "1", "name": "Laptop Pro", "price": 1299.99}]""");
+        find("1");
+        server.verify();
+        
+        server.reset();
+        clock.advance(Duration.ofMinutes(11));
+        server.expect(once(), requestTo(URL)).andRespond(withException(new SocketTimeoutException("Read timed out")));
+        server.expect(once(), requestTo(URL)).andRespond(withException(new SocketTimeoutException("Read timed out")));
+        
+        assertThat(find("1")).isEmpty();
+        server.verify();
+    }
+    
+    private Map<String, Product> find(String... ids) {
+        return repository.findByIds(List.of(ids)).join();
+    }
+    
+    private void expectEntities(String entities) {
+        server.expect(once(), requestTo(URL))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(header("Accept", MediaType.APPLICATION_JSON_VALUE))
+            .andRespond(withSuccess("{\"data\": {\"_entities\": " + entities + "}}", MediaType.APPLICATION_JSON));
+    }
+    
+    private static class TestProductRepository extends SubgraphReferenceRepository<Product> {
+        
+        TestProductRepository(RestClient restClient, ReferenceCacheSettings settings, Clock clock) {
+            super(restClient, settings, clock);
+        }
+        
+        @Override
+        protected String typename() {
+            return "Product";
+        }
+        
+        @Override
+        protected String fields() {
+            return "id name price";
+        }
+        
+        @Override
+        protected Product map(Map<String, Object> entity) {
+            return new Product((String) entity.get("id"), (String) entity.get("name"),
+                ((Number) entity.get("price")).doubleValue());
+        }
+    }
+    
+    private static class MutableClock extends Clock {
+        
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+        
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
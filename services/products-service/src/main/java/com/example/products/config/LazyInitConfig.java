@@ -0,0 +1,28 @@
+package com.example.products.config;
+
+import com.netflix.graphql.dgs.DgsQueryExecutor;
+import graphql.schema.GraphQLSchema;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keeps the GraphQL serving path eager under lazy initialization (faststart profile):
+ * the schema is parsed, the repositories seeded and the DGS controller created before
+ * the service reports ready. Everything else stays lazy.
+ */
+@Configuration
+public class LazyInitConfig {
+    
+    @Bean
+    static LazyInitializationExcludeFilter eagerGraphQLBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+            && (GraphQLSchema.class.isAssignableFrom(beanType)
+                || DgsQueryExecutor.class.isAssignableFrom(beanType)
+                || beanType.isAnnotationPresent(Repository.class)
+                || AnnotatedElementUtils.hasAnnotation(beanType, Controller.class));
+    }
+}
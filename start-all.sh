@@ -42,9 +42,18 @@ echo "════════════════════════
 echo ""
 
 # Build Java services
+# FAST_START=1 builds with Spring AOT and launches each service from a
+# repackaged jar with a class-data sharing archive instead of mvn spring-boot:run
+MVN_PROFILES=""
+if [ "$FAST_START" = "1" ]; then
+    MVN_PROFILES="-Pfaststart"
+    echo "⚡ Fast-start mode enabled (AOT + CDS + lazy initialization)"
+    echo ""
+fi
+
 echo "📦 Building Spring Boot services..."
 echo ""
-mvn clean install -DskipTests
+mvn clean install -DskipTests $MVN_PROFILES
 
 if [ $? -ne 0 ]; then
     echo "❌ Maven build failed"
@@ -100,14 +109,103 @@ start_service() {
     cd "$SCRIPT_DIR"
 }
 
+# JVM options shared by the CDS training run and the real launch; the
+# archive is only used when both see the same classpath and options
+FAST_JAVA_OPTS="-Dspring.aot.enabled=true -Dspring.profiles.active=faststart"
+
+# Repackage a service jar into .faststart/<name> as app.jar (application
+# classes, manifest Class-Path listing lib/*.jar) and record a CDS archive with
+# a training run that exits once the context is refreshed. CDS only archives
+# classes loaded from jars, so the unpacked BOOT-INF/classes directory cannot
+# be used directly. Both are reused until the service jar changes.
+prepare_fast_service() {
+    local name=$1
+    local dir=$2
+    local app_dir="$SCRIPT_DIR/.faststart/$name"
+    local jar=$(ls "$SCRIPT_DIR/$dir"/target/*.jar | grep -v original | head -n 1)
+    # Spring AOT output is not byte-for-byte reproducible (generated CGLIB proxy
+    # classes, native-image hints), so the jar is keyed on the CRCs of the rest
+    local checksum=$(unzip -v "$jar" | grep -E ' (Defl|Stored)' \
+        | grep -v -e 'SpringCGLIB' -e 'META-INF/native-image' | cksum)
+
+    if [ -f "$app_dir/app.jsa" ] && [ "$(cat "$app_dir/jar.cksum" 2>/dev/null)" = "$checksum" ]; then
+        echo "    ✓ ${name}: jar unchanged, reusing class-data sharing archive"
+        return 0
+    fi
+
+    echo "    Recording class-data sharing archive for ${name}..."
+    rm -rf "$app_dir"
+    mkdir -p "$app_dir/unpacked"
+    (cd "$app_dir/unpacked" && jar -xf "$jar") || return 1
+    mv "$app_dir/unpacked/BOOT-INF/lib" "$app_dir/lib"
+
+    local main_class=$(grep '^Start-Class:' "$app_dir/unpacked/META-INF/MANIFEST.MF" | cut -d' ' -f2 | tr -d '\r')
+    # Manifest lines are limited in length, so each entry goes on its own continuation line
+    {
+        echo "Main-Class: $main_class"
+        echo "Class-Path: "
+        for lib in "$app_dir"/lib/*.jar; do
+            echo "  lib/$(basename "$lib")"
+        done
+    } > "$app_dir/MANIFEST.MF"
+    jar --create --file "$app_dir/app.jar" --manifest "$app_dir/MANIFEST.MF" \
+        -C "$app_dir/unpacked/BOOT-INF/classes" . || return 1
+    rm -rf "$app_dir/unpacked" "$app_dir/MANIFEST.MF"
+
+    (cd "$app_dir" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+        $FAST_JAVA_OPTS -jar app.jar > training.log 2>&1)
+    local status=$?
+
+    if [ $status -ne 0 ] || [ ! -f "$app_dir/app.jsa" ]; then
+        echo "    ❌ ${name}: CDS training run failed (exit $status), see .faststart/${name}/training.log"
+        return 1
+    fi
+    echo "$checksum" > "$app_dir/jar.cksum"
+    echo "    ✓ ${name}: archive recorded"
+}
+
+# Wait until a service answers a GraphQL query. This first query also warms the
+# request path, so the service is ready for the gateway once it returns.
+wait_for_service() {
+    local name=$1
+    local port=$2
+    local attempts=0
+
+    until curl -s -H 'Content-Type: application/json' -d '{"query":"{ __typename }"}' \
+            "http://localhost:${port}/graphql" 2>/dev/null | grep -q '"data"'; do
+        attempts=$((attempts + 1))
+        if [ $attempts -ge 120 ]; then
+            echo "    ⚠️  ${name} not ready on port ${port}, see logs/${name}.log"
+            return
+        fi
+        sleep 0.5
+    done
+    echo "    ✓ ${name} served its first query on port ${port} (${SECONDS}s after launch)"
+}
+
 # Start Spring Boot services
-start_service "products-service" "services/products-service" "mvn spring-boot:run"
-start_service "orders-service" "services/orders-service" "mvn spring-boot:run"
-start_service "customers-service" "services/customers-service" "mvn spring-boot:run"
+if [ "$FAST_START" = "1" ]; then
+    echo "  Preparing fast-start launchers..."
+    for service in products-service orders-service customers-service; do
+        prepare_fast_service "$service" "services/$service" || exit 1
+    done
+    echo ""
+    SECONDS=0
+    for service in products-service orders-service customers-service; do
+        start_service "$service" ".faststart/$service" "java -XX:SharedArchiveFile=app.jsa $FAST_JAVA_OPTS -jar app.jar"
+    done
+else
+    SECONDS=0
+    start_service "products-service" "services/products-service" "mvn spring-boot:run"
+    start_service "orders-service" "services/orders-service" "mvn spring-boot:run"
+    start_service "customers-service" "services/customers-service" "mvn spring-boot:run"
+fi
 
 echo ""
-echo "  ⏳ Waiting for Spring Boot services to start (30 seconds)..."
-sleep 30
+echo "  ⏳ Waiting for Spring Boot services to start..."
+wait_for_service "products-service" 8081
+wait_for_service "orders-service" 8082
+wait_for_service "customers-service" 8083
 
 # Start Node.js services
 start_service "gateway" "gateway" "npm start"